@@ -108,12 +108,44 @@ public class Challenge {
         }
     }
 
+    /*
+     * Escreve cada onda em um arquivo próprio: <output>_wave<k>.txt
+     */
+    public void writeWaves(List<WaveSolution> waves, String outputFilePath) {
+        if (waves == null || waves.isEmpty()) {
+            System.err.println("Solution not found");
+            return;
+        }
+
+        int extensionIndex = outputFilePath.lastIndexOf('.');
+        if (extensionIndex <= outputFilePath.lastIndexOf('/')) {
+            extensionIndex = outputFilePath.length();
+        }
+        String basePath = outputFilePath.substring(0, extensionIndex);
+        String extension = outputFilePath.substring(extensionIndex);
+
+        for (int k = 0; k < waves.size(); k++) {
+            WaveSolution wave = waves.get(k);
+            System.out.println("Onda " + (k + 1) + ": q = " + wave.q() + ", tempo = " + String.format("%.2f", wave.elapsedSeconds()) + " seg.");
+            writeOutput(wave.solution(), basePath + "_wave" + (k + 1) + extension);
+        }
+    }
+
     public static void main(String[] args) {
         // Start the stopwatch to track the running time
         StopWatch stopWatch = StopWatch.createStarted();
 
-        if (args.length != 2) {
-            System.out.println("Usage: java -jar target/ChallengeSBPO2025-1.0.jar <inputFilePath> <outputFilePath>");
+        int nWaves = 0;
+        if (args.length == 3) {
+            try {
+                nWaves = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                nWaves = 0;
+            }
+        }
+
+        if ((args.length != 2 && args.length != 3) || (args.length == 3 && nWaves <= 0)) {
+            System.out.println("Usage: java -jar target/ChallengeSBPO2025-1.0.jar <inputFilePath> <outputFilePath> [<nWaves>]");
             return;
         }
 
@@ -121,7 +153,16 @@ public class Challenge {
         challenge.readInput(args[0]);
         var challengeSolver = new ChallengeSolver(
                 challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
+
+        if (args.length == 3) {
+            List<WaveSolution> waves = challengeSolver.solveWaves(stopWatch, nWaves);
+            challengeSolver.endModel();
+            challenge.writeWaves(waves, args[1]);
+            return;
+        }
+
         ChallengeSolution challengeSolution = challengeSolver.solve(stopWatch);
+        challengeSolver.endModel();
 
         challenge.writeOutput(challengeSolution, args[1]);
     }
@@ -1,9 +1,15 @@
 package org.sbpo2025.challenge;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.time.StopWatch;
@@ -12,6 +18,7 @@ import ilog.concert.IloException;
 
 public class ChallengeSolver {
     private final long MAX_RUNTIME = 600000; // milliseconds; 10 minutes
+    private final double DOMINANT_COMPONENT_SHARE = 0.9;
 
     protected List<Map<Integer, Integer>> orders;
     protected List<Map<Integer, Integer>> aisles;
@@ -22,6 +29,12 @@ public class ChallengeSolver {
     private final GreedyAlgorithm greedyAlgorithm;
     private final ImprovedGreedyAlgorithm improvedGreedyAlgorithm;
 
+    private ChallengeSolution incumbent;
+    private ParametricSolver incrementalSolver;
+
+    // Desligado nas subinstâncias resolvidas em paralelo
+    private boolean verbose = true;
+
     public ChallengeSolver(
             List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, int waveSizeLB, int waveSizeUB) {
         this.orders = orders;
@@ -34,83 +47,513 @@ public class ChallengeSolver {
         improvedGreedyAlgorithm = new ImprovedGreedyAlgorithm(orders, aisles, nItems, waveSizeLB, waveSizeUB);
     }
 
+    /*
+     * O modelo paramétrico construído aqui continua ativo (com memória nativa do CPLEX) para
+     * os replanejamentos de reoptimize() e solveWaves(); quem chama deve liberá-lo com endModel()
+     */
     public ChallengeSolution solve(StopWatch stopWatch) {
-        int iteration = 0, maxIterations = 15;
-        double bestQ = 0.0, q = 0.0, epsilon = 1e-4;
+        ChallengeSolution decomposedSolution = null;
+        InstanceDecomposition decomposition = new InstanceDecomposition(orders, aisles, nItems);
+        if (isWorthDecomposing(decomposition)) {
+            decomposedSolution = solveDecomposed(decomposition, stopWatch);
+        }
 
         ChallengeSolution currentSolution = improvedGreedyAlgorithm.solve();
 
-        q = printGreedy(currentSolution);        
+        double q = printGreedy(currentSolution);
+
+        // A combinação das componentes vira o ponto de partida da instância completa se for melhor
+        if (decomposedSolution != null && isSolutionFeasible(decomposedSolution)
+                && computeObjectiveFunction(decomposedSolution) > q) {
+            currentSolution = decomposedSolution;
+            q = computeObjectiveFunction(decomposedSolution);
+        }
+        ChallengeSolution initialSolution = currentSolution;
 
         System.out.println("\nTempo decorrido: " + getElapsedTime(stopWatch) + " seg.");
         System.out.println();
 
         System.out.println("### Parametric solver ###");
 
-        ParametricSolver paramSolver = new ParametricSolver(orders, aisles, nItems, waveSizeLB, waveSizeUB);
+        // O modelo é mantido para os replanejamentos incrementais (ver reoptimize)
+        ParametricSolver paramSolver = buildIncrementalSolver();
 
         try {
-            do {
-                paramSolver.updateObjectiveFunction(orders, aisles, q);
+            currentSolution = improveSolution(paramSolver, currentSolution, q, stopWatch, MAX_RUNTIME);
+        } catch (IloException e) {
+            e.printStackTrace();
+            endModel();
+            return null;
+        }
 
-                if (currentSolution != null && isSolutionFeasible(currentSolution)) {
-                    paramSolver.setInitialSolution(currentSolution);
-                }
+        if (initialSolution != null && isSolutionFeasible(initialSolution)
+                && (currentSolution == null || computeObjectiveFunction(initialSolution) > computeObjectiveFunction(currentSolution))) {
+            currentSolution = initialSolution;
+        }
 
-                paramSolver.setTimeLimit(getRemainingTime(stopWatch));
+        System.out.println("\nTempo decorrido: " + getElapsedTime(stopWatch) + " seg.");
 
-                ChallengeSolution newSolution = paramSolver.solveModel();
+        incumbent = currentSolution;
 
-                System.out.println();
-                System.out.print("it: " + iteration + ", ");
+        return currentSolution;
+    }
 
-                if (newSolution != null && isSolutionFeasible(newSolution)) {
-                    double newQ = computeObjectiveFunction(newSolution);
+    /*
+     * Só vale decompor se nenhuma componente concentrar quase todos os pedidos e corredores;
+     * caso contrário ela seria, na prática, o modelo completo com menos threads e menos tempo
+     */
+    private boolean isWorthDecomposing(InstanceDecomposition decomposition) {
+        List<InstanceDecomposition.Component> components = decomposition.components();
+        if (components.size() <= 1) return false;
 
-                    System.out.println("q: " + newQ);
+        for (InstanceDecomposition.Component component : components) {
+            if (component.orders().size() >= DOMINANT_COMPONENT_SHARE * orders.size()
+                    && component.aisles().size() >= DOMINANT_COMPONENT_SHARE * aisles.size()) {
+                return false;
+            }
+        }
 
-                    if (newQ > bestQ) {
-                        bestQ = newQ;
-                        currentSolution = newSolution;
-                    }
+        return true;
+    }
 
-                    int totalUnitsPicked = 0;
-                    for (int order : newSolution.orders()) {
-                        totalUnitsPicked += orders.get(order).values().stream()
-                                .mapToInt(Integer::intValue)
-                                .sum();
-                    }
-                    int numVisitedAisles = newSolution.aisles().size();
+    /*
+     * Resolve em paralelo as componentes conexas (modelos menores, com índices locais) e
+     * combina as soluções respeitando os limites da onda. Usa até metade do tempo restante;
+     * o resto fica para a instância completa, que parte da combinação
+     */
+    private ChallengeSolution solveDecomposed(InstanceDecomposition decomposition, StopWatch stopWatch) {
+        List<InstanceDecomposition.Component> components = decomposition.components();
 
-                    System.out.println("Total units: " + totalUnitsPicked);
-                    System.out.println("Visited aisles: " + numVisitedAisles);
+        System.out.println("### Decomposição ###");
+        System.out.println("Componentes: " + components.size());
 
-                    double Fq = totalUnitsPicked - q * numVisitedAisles;
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        int parallelism = Math.min(components.size(), nThreads);
 
-                    if (Math.abs(Fq) < epsilon) break;
+        int totalSize = 0;
+        for (InstanceDecomposition.Component component : components) {
+            totalSize += component.orders().size() + component.aisles().size();
+        }
 
-                    q = newQ;
-                } else {
-                    System.out.println("Solução não encontrada ou infactível");
+        long start = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        long deadline = start + (MAX_RUNTIME - start) / 2;
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        List<Future<ChallengeSolution>> futures = new ArrayList<>();
+
+        for (InstanceDecomposition.Component component : components) {
+            int componentUnits = 0;
+            for (int order : component.orders()) {
+                componentUnits += orders.get(order).values().stream().mapToInt(Integer::intValue).sum();
+            }
+
+            // Só exige o waveSizeLB das componentes que conseguem atingi-lo sozinhas
+            int componentLB = componentUnits >= waveSizeLB ? waveSizeLB : 0;
+
+            ChallengeSolver componentSolver = new ChallengeSolver(
+                    component.localOrders(), component.localAisles(), component.nItems(), componentLB, waveSizeUB);
+            componentSolver.verbose = false;
+
+            // Threads do CPLEX proporcionais ao tamanho da componente
+            int componentSize = component.orders().size() + component.aisles().size();
+            int threads = Math.max(1, (int) Math.round((double) nThreads * componentSize / totalSize));
+
+            futures.add(executor.submit(() -> {
+                // Componentes que só começam após o prazo não são resolvidas
+                if (getRemainingSeconds(stopWatch, deadline) <= 0) return null;
+                return componentSolver.solveComponent(stopWatch, deadline, threads);
+            }));
+        }
+        executor.shutdown();
+
+        List<ChallengeSolution> partialSolutions = new ArrayList<>();
+        for (int c = 0; c < components.size(); c++) {
+            try {
+                ChallengeSolution localSolution = futures.get(c).get();
+                if (localSolution == null) continue;
+
+                InstanceDecomposition.Component component = components.get(c);
+                Set<Integer> selectedOrders = new HashSet<>();
+                Set<Integer> selectedAisles = new HashSet<>();
+                for (int order : localSolution.orders()) {
+                    selectedOrders.add(component.orders().get(order));
                 }
+                for (int aisle : localSolution.aisles()) {
+                    selectedAisles.add(component.aisles().get(aisle));
+                }
+                partialSolutions.add(new ChallengeSolution(selectedOrders, selectedAisles));
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
 
-                System.out.println("Tempo decorrido: " + getElapsedTime(stopWatch) + " seg.");
+        ChallengeSolution mergedSolution = mergeComponents(partialSolutions);
+
+        if (mergedSolution != null) {
+            System.out.println("q = " + computeObjectiveFunction(mergedSolution));
+        }
+        System.out.println("\nTempo decorrido: " + getElapsedTime(stopWatch) + " seg.");
+
+        return mergedSolution;
+    }
+
+    /*
+     * Greedy + solver paramétrico de uma subinstância, sem impressão
+     */
+    private ChallengeSolution solveComponent(StopWatch stopWatch, long deadline, int threads) {
+        ChallengeSolution currentSolution = improvedGreedyAlgorithm.solve();
+        double q = currentSolution != null ? computeObjectiveFunction(currentSolution) : 0.0;
 
-                iteration++;
-            } while (iteration < maxIterations && getRemainingTime(stopWatch) > 1);
+        // O guloso pode ter consumido o prazo; não constrói o modelo só para um solve com TimeLimit=0
+        if (getRemainingSeconds(stopWatch, deadline) <= 0) {
+            return currentSolution != null && isSolutionFeasible(currentSolution) ? currentSolution : null;
+        }
 
+        ParametricSolver paramSolver = new ParametricSolver(orders, aisles, nItems, waveSizeLB, waveSizeUB);
+
+        try {
+            paramSolver.setThreads(threads);
+            currentSolution = improveSolution(paramSolver, currentSolution, q, stopWatch, deadline);
         } catch (IloException e) {
             e.printStackTrace();
-            return null;
         } finally {
             paramSolver.endModel();
         }
 
-        System.out.println("\nTempo decorrido: " + getElapsedTime(stopWatch) + " seg.");
+        return currentSolution != null && isSolutionFeasible(currentSolution) ? currentSolution : null;
+    }
+
+    /*
+     * As componentes são disjuntas, então a união das soluções respeita o estoque e só os limites
+     * da onda precisam ser verificados. Como q da união nunca supera o maior q das partes, acumula-se
+     * em ordem decrescente de q apenas até atingir o waveSizeLB, comparando com cada componente sozinha
+     */
+    private ChallengeSolution mergeComponents(List<ChallengeSolution> partialSolutions) {
+        partialSolutions.sort((s1, s2) -> Double.compare(computeObjectiveFunction(s2), computeObjectiveFunction(s1)));
+
+        ChallengeSolution bestSolution = null;
+        double bestQ = 0.0;
+
+        for (ChallengeSolution partialSolution : partialSolutions) {
+            double partialQ = computeObjectiveFunction(partialSolution);
+            if (partialQ > bestQ && isSolutionFeasible(partialSolution)) {
+                bestQ = partialQ;
+                bestSolution = partialSolution;
+            }
+        }
+
+        Set<Integer> selectedOrders = new HashSet<>();
+        Set<Integer> selectedAisles = new HashSet<>();
+        int totalUnits = 0;
+
+        for (ChallengeSolution partialSolution : partialSolutions) {
+            int partialUnits = getTotalUnits(partialSolution);
+            if (totalUnits + partialUnits > waveSizeUB) continue;
+
+            selectedOrders.addAll(partialSolution.orders());
+            selectedAisles.addAll(partialSolution.aisles());
+            totalUnits += partialUnits;
+
+            if (totalUnits >= waveSizeLB) break;
+        }
+
+        ChallengeSolution mergedSolution = new ChallengeSolution(selectedOrders, selectedAisles);
+        if (computeObjectiveFunction(mergedSolution) > bestQ && isSolutionFeasible(mergedSolution)) {
+            bestSolution = mergedSolution;
+        }
+
+        return bestSolution;
+    }
+
+    /*
+     * Inclui um novo pedido na instância carregada e retorna seu índice
+     */
+    public int addOrder(Map<Integer, Integer> order) {
+        for (int item : order.keySet()) {
+            if (item < 0 || item >= nItems) {
+                throw new IllegalArgumentException("Item " + item + " fora do intervalo [0, " + nItems + ")");
+            }
+        }
+
+        int orderIdx = orders.size();
+        orders.add(order);
+        improvedGreedyAlgorithm.addOrder(orderIdx);
+
+        if (incrementalSolver != null) {
+            try {
+                incrementalSolver.addOrder(order);
+            } catch (IloException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return orderIdx;
+    }
+
+    public void cancelOrder(int order) {
+        if (order < 0 || order >= orders.size()) {
+            throw new IllegalArgumentException("Pedido " + order + " fora do intervalo [0, " + orders.size() + ")");
+        }
+
+        improvedGreedyAlgorithm.removeOrder(order);
+
+        if (incrementalSolver != null) {
+            try {
+                incrementalSolver.removeOrder(order);
+            } catch (IloException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /*
+     * Define o novo estoque do item no corredor (0 retira o item do corredor)
+     */
+    public void updateAisleStock(int aisle, int item, int quantity) {
+        if (aisle < 0 || aisle >= aisles.size()) {
+            throw new IllegalArgumentException("Corredor " + aisle + " fora do intervalo [0, " + aisles.size() + ")");
+        }
+        if (item < 0 || item >= nItems) {
+            throw new IllegalArgumentException("Item " + item + " fora do intervalo [0, " + nItems + ")");
+        }
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Estoque negativo: " + quantity);
+        }
+
+        Map<Integer, Integer> aisleItems = aisles.get(aisle);
+        if (quantity > 0) {
+            aisleItems.put(item, quantity);
+        } else {
+            aisleItems.remove(item);
+        }
+        improvedGreedyAlgorithm.updateAisle(aisle);
+
+        if (incrementalSolver != null) {
+            try {
+                incrementalSolver.updateAisleStock(aisle, item, quantity);
+                if (aisleItems.isEmpty()) {
+                    incrementalSolver.closeAisle(aisle);
+                } else {
+                    incrementalSolver.openAisle(aisle);
+                }
+            } catch (IloException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /*
+     * Replaneja após as alterações: repara a melhor solução conhecida e retoma o solver
+     * paramétrico a partir dela, com o limite de tempo em milissegundos. Reaproveita o modelo
+     * de solve(), que recebe as alterações diretamente; só é construído aqui se ainda não existir
+     */
+    public ChallengeSolution reoptimize(StopWatch stopWatch, long timeLimit) {
+        ChallengeSolution currentSolution = improvedGreedyAlgorithm.repair(incumbent);
+        double q = currentSolution != null ? computeObjectiveFunction(currentSolution) : 0.0;
+
+        System.out.println("### Reparo ###");
+        System.out.println("q = " + q);
+
+        if (incrementalSolver == null) {
+            buildIncrementalSolver();
+        }
+
+        long deadline = stopWatch.getTime(TimeUnit.MILLISECONDS) + timeLimit;
+
+        try {
+            incrementalSolver.clearInitialSolutions();
+            currentSolution = improveSolution(incrementalSolver, currentSolution, q, stopWatch, deadline);
+        } catch (IloException e) {
+            e.printStackTrace();
+        }
+
+        incumbent = currentSolution != null && isSolutionFeasible(currentSolution) ? currentSolution : null;
+
+        return incumbent;
+    }
+
+    /*
+     * Cria o modelo persistente já com os pedidos cancelados e os corredores vazios fixados em 0
+     */
+    private ParametricSolver buildIncrementalSolver() {
+        endModel();
+        incrementalSolver = new ParametricSolver(orders, aisles, nItems, waveSizeLB, waveSizeUB);
+
+        try {
+            for (int order : improvedGreedyAlgorithm.getRemovedOrders()) {
+                incrementalSolver.removeOrder(order);
+            }
+            for (int a = 0; a < aisles.size(); a++) {
+                if (aisles.get(a).isEmpty()) {
+                    incrementalSolver.closeAisle(a);
+                }
+            }
+        } catch (IloException e) {
+            e.printStackTrace();
+        }
+
+        return incrementalSolver;
+    }
+
+    public void endModel() {
+        if (incrementalSolver != null) {
+            incrementalSolver.endModel();
+            incrementalSolver = null;
+        }
+    }
+
+    /*
+     * Planeja ondas consecutivas: após cada onda, seus pedidos são retirados e as unidades
+     * coletadas são descontadas do estoque dos corredores, reaproveitando as ordenações do
+     * guloso e o modelo paramétrico (fixando variáveis em vez de reconstruí-lo). As ondas rodam
+     * no modelo persistente, que ao final reflete o estoque e os pedidos restantes e segue ativo
+     * para reoptimize() até endModel()
+     */
+    public List<WaveSolution> solveWaves(StopWatch stopWatch, int maxWaves) {
+        List<WaveSolution> waves = new ArrayList<>();
+
+        ParametricSolver paramSolver = incrementalSolver != null ? incrementalSolver : buildIncrementalSolver();
+
+        try {
+            for (int wave = 0; wave < maxWaves && getRemainingTime(stopWatch) > 1; wave++) {
+                long waveStart = stopWatch.getTime(TimeUnit.MILLISECONDS);
+
+                // Divide o tempo restante igualmente entre as ondas que faltam
+                long deadline = waveStart + (MAX_RUNTIME - waveStart) / (maxWaves - wave);
+
+                System.out.println("### Onda " + (wave + 1) + " ###");
+
+                ChallengeSolution currentSolution = improvedGreedyAlgorithm.solve();
+                double q = currentSolution != null ? computeObjectiveFunction(currentSolution) : 0.0;
+
+                paramSolver.clearInitialSolutions();
+                currentSolution = improveSolution(paramSolver, currentSolution, q, stopWatch, deadline);
+
+                if (currentSolution == null || !isSolutionFeasible(currentSolution)) {
+                    System.out.println("Nenhuma onda factível com os pedidos restantes");
+                    break;
+                }
+
+                double waveQ = computeObjectiveFunction(currentSolution);
+                double waveTime = (stopWatch.getTime(TimeUnit.MILLISECONDS) - waveStart) / 1000.0;
+                waves.add(new WaveSolution(currentSolution, waveQ, waveTime));
+
+                System.out.println("\nOnda " + (wave + 1) + " - q: " + waveQ + ", tempo: " + String.format("%.2f", waveTime) + " seg.");
+                System.out.println();
+
+                removeWave(currentSolution, paramSolver);
+            }
+        } catch (IloException e) {
+            e.printStackTrace();
+            endModel();
+        }
+
+        System.out.println("Tempo decorrido: " + getElapsedTime(stopWatch) + " seg.");
+
+        return waves;
+    }
+
+    private ChallengeSolution improveSolution(ParametricSolver paramSolver, ChallengeSolution currentSolution, double q,
+            StopWatch stopWatch, long deadline) throws IloException {
+        int iteration = 0, maxIterations = 15;
+        double bestQ = 0.0, epsilon = 1e-4;
+
+        do {
+            paramSolver.updateObjectiveFunction(orders, aisles, q);
+
+            if (currentSolution != null && isSolutionFeasible(currentSolution)) {
+                paramSolver.setInitialSolution(currentSolution);
+            }
+
+            paramSolver.setTimeLimit(getRemainingSeconds(stopWatch, deadline));
+
+            ChallengeSolution newSolution = paramSolver.solveModel();
+
+            if (verbose) {
+                System.out.println();
+                System.out.print("it: " + iteration + ", ");
+            }
+
+            if (newSolution != null && isSolutionFeasible(newSolution)) {
+                double newQ = computeObjectiveFunction(newSolution);
+
+                if (newQ > bestQ) {
+                    bestQ = newQ;
+                    currentSolution = newSolution;
+                }
+
+                int totalUnitsPicked = getTotalUnits(newSolution);
+                int numVisitedAisles = newSolution.aisles().size();
+
+                if (verbose) {
+                    System.out.println("q: " + newQ);
+                    System.out.println("Total units: " + totalUnitsPicked);
+                    System.out.println("Visited aisles: " + numVisitedAisles);
+                }
+
+                double Fq = totalUnitsPicked - q * numVisitedAisles;
+
+                if (Math.abs(Fq) < epsilon) break;
+
+                q = newQ;
+            } else if (verbose) {
+                System.out.println("Solução não encontrada ou infactível");
+            }
+
+            if (verbose) {
+                System.out.println("Tempo decorrido: " + getElapsedTime(stopWatch) + " seg.");
+            }
+
+            iteration++;
+        } while (iteration < maxIterations && getRemainingTime(stopWatch, deadline) > 1);
 
         return currentSolution;
     }
 
+    /*
+     * Retira os pedidos da onda e desconta as unidades coletadas do estoque dos corredores visitados
+     */
+    private void removeWave(ChallengeSolution wave, ParametricSolver paramSolver) throws IloException {
+        Map<Integer, Integer> pickedUnits = new HashMap<>();
+        for (int order : wave.orders()) {
+            for (Map.Entry<Integer, Integer> entry : orders.get(order).entrySet()) {
+                pickedUnits.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+            paramSolver.removeOrder(order);
+            improvedGreedyAlgorithm.removeOrder(order);
+        }
+
+        for (int aisle : wave.aisles()) {
+            Map<Integer, Integer> aisleItems = aisles.get(aisle);
+            boolean changed = false;
+
+            for (Map.Entry<Integer, Integer> entry : pickedUnits.entrySet()) {
+                int item = entry.getKey();
+                int remaining = entry.getValue();
+                int stock = aisleItems.getOrDefault(item, 0);
+                if (remaining == 0 || stock == 0) continue;
+
+                int taken = Math.min(stock, remaining);
+                entry.setValue(remaining - taken);
+
+                if (stock == taken) {
+                    aisleItems.remove(item);
+                } else {
+                    aisleItems.put(item, stock - taken);
+                }
+                paramSolver.updateAisleStock(aisle, item, stock - taken);
+                changed = true;
+            }
+
+            if (changed) {
+                improvedGreedyAlgorithm.updateAisle(aisle);
+                if (aisleItems.isEmpty()) {
+                    paramSolver.closeAisle(aisle);
+                }
+            }
+        }
+    }
+
     private double printGreedy(ChallengeSolution currentSolution) {
         int totalUnitsPicked = 0;
         for (int order : currentSolution.orders()) {
@@ -140,11 +583,25 @@ public class ChallengeSolver {
      * Get the remaining time in seconds
      */
     protected long getRemainingTime(StopWatch stopWatch) {
+        return getRemainingTime(stopWatch, MAX_RUNTIME);
+    }
+
+    /*
+     * Get the remaining time in seconds until the given deadline (milliseconds since start)
+     */
+    protected long getRemainingTime(StopWatch stopWatch, long deadline) {
         return Math.max(
-                TimeUnit.SECONDS.convert(MAX_RUNTIME - stopWatch.getTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS),
+                TimeUnit.SECONDS.convert(deadline - stopWatch.getTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS),
                 0);
     }
 
+    /*
+     * Fractional seconds until the given deadline, so sub-second budgets reach the solver
+     */
+    protected double getRemainingSeconds(StopWatch stopWatch, long deadline) {
+        return Math.max(deadline - stopWatch.getTime(TimeUnit.MILLISECONDS), 0) / 1000.0;
+    }
+
     protected String getElapsedTime(StopWatch stopWatch) {
         long elapsedTimeInMillis = stopWatch.getTime(TimeUnit.MILLISECONDS);
         double elapsedTimeInSeconds = elapsedTimeInMillis / 1000.0;
@@ -158,6 +615,14 @@ public class ChallengeSolver {
             return false;
         }
 
+        // Pedidos cancelados não fazem mais parte da instância
+        Set<Integer> removedOrders = improvedGreedyAlgorithm.getRemovedOrders();
+        for (int order : selectedOrders) {
+            if (removedOrders.contains(order)) {
+                return false;
+            }
+        }
+
         int[] totalUnitsPicked = new int[nItems];
         int[] totalUnitsAvailable = new int[nItems];
 
@@ -176,19 +641,23 @@ public class ChallengeSolver {
         }
 
         // Check if the total units picked are within bounds
-        int totalUnits = Arrays.stream(totalUnitsPicked).sum();
+        int totalUnits = IntKernels.sum(totalUnitsPicked);
         if (totalUnits < waveSizeLB || totalUnits > waveSizeUB) {
             return false;
         }
 
         // Check if the units picked do not exceed the units available
-        for (int i = 0; i < nItems; i++) {
-            if (totalUnitsPicked[i] > totalUnitsAvailable[i]) {
-                return false;
-            }
-        }
+        return IntKernels.allLessOrEqual(totalUnitsPicked, totalUnitsAvailable);
+    }
 
-        return true;
+    protected int getTotalUnits(ChallengeSolution challengeSolution) {
+        int totalUnitsPicked = 0;
+        for (int order : challengeSolution.orders()) {
+            totalUnitsPicked += orders.get(order).values().stream()
+                    .mapToInt(Integer::intValue)
+                    .sum();
+        }
+        return totalUnitsPicked;
     }
 
     protected double computeObjectiveFunction(ChallengeSolution challengeSolution) {
@@ -1,7 +1,7 @@
 package org.sbpo2025.challenge;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -16,83 +16,97 @@ public class ImprovedGreedyAlgorithm {
     private final int waveSizeLB;
     private final int waveSizeUB;
 
+    private final List<Integer> sumPerOrder;
+    private final List<Integer> sumPerOrderSorted;
+    private final List<Integer> sumPerAisle;
+    private final List<Integer> sumPerAisleSorted;
+    private final Set<Integer> removedOrders = new HashSet<>();
+    private boolean aislesOutOfOrder = false;
+
     public ImprovedGreedyAlgorithm(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, int waveSizeLB, int waveSizeUB) {
         this.orders = orders;
         this.aisles = aisles;
         this.nItems = nItems;
         this.waveSizeLB = waveSizeLB;
         this.waveSizeUB = waveSizeUB;
-    }
 
-    public ChallengeSolution solve() {
-        List<Integer> sumPerOrder = new ArrayList<>();
+        sumPerOrder = new ArrayList<>();
         for (Map<Integer, Integer> order : orders) {
             sumPerOrder.add(order.values().stream().mapToInt(Integer::intValue).sum());
         }
 
-        List<Integer> sumPerOrderSorted = IntStream.range(0, orders.size())
+        sumPerOrderSorted = IntStream.range(0, orders.size())
             .boxed()
             .sorted((i, j) -> sumPerOrder.get(j) - sumPerOrder.get(i))
-            .collect(Collectors.toList());
+            .collect(Collectors.toCollection(ArrayList::new));
 
-        List<Integer> sumPerAisle = new ArrayList<>();
+        sumPerAisle = new ArrayList<>();
         for (Map<Integer, Integer> aisle : aisles) {
             sumPerAisle.add(aisle.values().stream().mapToInt(Integer::intValue).sum());
         }
 
-        List<Integer> sumPerAisleSorted = IntStream.range(0, aisles.size())
+        sumPerAisleSorted = IntStream.range(0, aisles.size())
             .boxed()
             .sorted((i, j) -> sumPerAisle.get(j) - sumPerAisle.get(i))
-            .collect(Collectors.toList());
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /*
+     * Remove o pedido das próximas execuções, mantendo a ordenação dos demais
+     */
+    public void removeOrder(int order) {
+        removedOrders.add(order);
+    }
+
+    /*
+     * Pedidos retirados (cancelados ou já atendidos em ondas anteriores)
+     */
+    public Set<Integer> getRemovedOrders() {
+        return Collections.unmodifiableSet(removedOrders);
+    }
+
+    /*
+     * Recalcula o total do corredor após alteração do seu estoque
+     */
+    public void updateAisle(int aisle) {
+        sumPerAisle.set(aisle, aisles.get(aisle).values().stream().mapToInt(Integer::intValue).sum());
+        aislesOutOfOrder = true;
+    }
+
+    public ChallengeSolution solve() {
+        // Reordena a lista existente (quase ordenada) apenas se algum estoque mudou
+        if (aislesOutOfOrder) {
+            sumPerAisleSorted.sort((i, j) -> sumPerAisle.get(j) - sumPerAisle.get(i));
+            aislesOutOfOrder = false;
+        }
 
         int bestObjValue = 0;
         ChallengeSolution bestSolution = null;
 
+        // Disponibilidade dos v corredores com maior capacidade, começando com todos os corredores
+        int[] selectedAvailability = new int[nItems];
+        for (Map<Integer, Integer> aisle : aisles) {
+            for (Map.Entry<Integer, Integer> entry : aisle.entrySet()) {
+                selectedAvailability[entry.getKey()] += entry.getValue();
+            }
+        }
+
         // Inicializar v como nAisles
         for (int v = aisles.size(); v >= 1; v--) {
-            Set<Integer> selectedAisles = new HashSet<>();
-            Map<Integer, Integer> availability = new HashMap<>();
-
-            // Selecionar os v corredores com maior capacidade
-            for (int i = 0; i < v; i++) {
-                int aisleIdx = sumPerAisleSorted.get(i);
-                selectedAisles.add(aisleIdx);
-                Map<Integer, Integer> aisle = aisles.get(aisleIdx);
-                for (Map.Entry<Integer, Integer> entry : aisle.entrySet()) {
-                    availability.put(entry.getKey(), availability.getOrDefault(entry.getKey(), 0) + entry.getValue());
+            // Remove o corredor que deixou de estar entre os v maiores
+            if (v < aisles.size()) {
+                for (Map.Entry<Integer, Integer> entry : aisles.get(sumPerAisleSorted.get(v)).entrySet()) {
+                    selectedAvailability[entry.getKey()] -= entry.getValue();
                 }
             }
 
+            Set<Integer> selectedAisles = new HashSet<>(sumPerAisleSorted.subList(0, v));
+            int[] availability = selectedAvailability.clone();
+
             Set<Integer> selectedOrders = new HashSet<>();
-            int totalUnits = 0;
 
             // Tentar incluir pedidos na ordem decrescente de unidades
-            for (int orderIdx : sumPerOrderSorted) {
-                Map<Integer, Integer> order = orders.get(orderIdx);
-
-                // Verifica se o pedido pode ser atendido com a disponibilidade atual
-                boolean canFulfill = true;
-                for (Map.Entry<Integer, Integer> item : order.entrySet()) {
-                    if (availability.getOrDefault(item.getKey(), 0) < item.getValue()) {
-                        canFulfill = false;
-                        break;
-                    }
-                }
-
-                if (!canFulfill) continue;
-
-                // Verifica se excederia o waveSizeUB
-                int orderUnits = sumPerOrder.get(orderIdx);
-                if (totalUnits + orderUnits > waveSizeUB) continue;
-
-                // Atualiza disponibilidade
-                for (Map.Entry<Integer, Integer> item : order.entrySet()) {
-                    availability.put(item.getKey(), availability.get(item.getKey()) - item.getValue());
-                }
-
-                selectedOrders.add(orderIdx);
-                totalUnits += orderUnits;
-            }
+            int totalUnits = fillOrders(sumPerOrderSorted, availability, selectedOrders, 0);
 
             if (totalUnits < waveSizeLB) continue;
 
@@ -111,5 +125,120 @@ public class ImprovedGreedyAlgorithm {
 
         return bestSolution;
     }
-}
 
+    /*
+     * Repara uma solução após alterações na instância: mantém os pedidos ainda atendíveis
+     * pelos corredores visitados, tenta incluir os demais pedidos que couberem e, por fim,
+     * descarta os corredores que deixaram de ser necessários
+     */
+    public ChallengeSolution repair(ChallengeSolution incumbent) {
+        if (incumbent == null) return solve();
+
+        // Corredores esvaziados deixam de ser visitados
+        Set<Integer> selectedAisles = new HashSet<>();
+        for (int aisleIdx : incumbent.aisles()) {
+            if (!aisles.get(aisleIdx).isEmpty()) {
+                selectedAisles.add(aisleIdx);
+            }
+        }
+
+        int[] availability = new int[nItems];
+        for (int aisleIdx : selectedAisles) {
+            for (Map.Entry<Integer, Integer> entry : aisles.get(aisleIdx).entrySet()) {
+                availability[entry.getKey()] += entry.getValue();
+            }
+        }
+
+        List<Integer> incumbentOrders = sumPerOrderSorted.stream()
+            .filter(incumbent.orders()::contains)
+            .collect(Collectors.toList());
+
+        Set<Integer> selectedOrders = new HashSet<>();
+        int totalUnits = fillOrders(incumbentOrders, availability, selectedOrders, 0);
+        totalUnits = fillOrders(sumPerOrderSorted, availability, selectedOrders, totalUnits);
+
+        // Sem reparo possível, recomeça do guloso
+        if (totalUnits < waveSizeLB || selectedOrders.isEmpty()) return solve();
+
+        // availability agora é a sobra de cada item; um corredor só é dispensável se a sobra
+        // cobre todo o seu estoque. Tenta-se descartar primeiro os menores
+        List<Integer> candidateAisles = new ArrayList<>(selectedAisles);
+        candidateAisles.sort((i, j) -> sumPerAisle.get(i) - sumPerAisle.get(j));
+
+        for (int aisleIdx : candidateAisles) {
+            Map<Integer, Integer> aisle = aisles.get(aisleIdx);
+
+            boolean isNeeded = false;
+            for (Map.Entry<Integer, Integer> entry : aisle.entrySet()) {
+                if (availability[entry.getKey()] < entry.getValue()) {
+                    isNeeded = true;
+                    break;
+                }
+            }
+
+            if (isNeeded) continue;
+
+            for (Map.Entry<Integer, Integer> entry : aisle.entrySet()) {
+                availability[entry.getKey()] -= entry.getValue();
+            }
+            selectedAisles.remove(aisleIdx);
+        }
+
+        return new ChallengeSolution(selectedOrders, selectedAisles);
+    }
+
+    /*
+     * Insere o novo pedido na lista ordenada sem reordená-la
+     */
+    public void addOrder(int order) {
+        int orderUnits = orders.get(order).values().stream().mapToInt(Integer::intValue).sum();
+        sumPerOrder.add(orderUnits);
+
+        int low = 0, high = sumPerOrderSorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sumPerOrder.get(sumPerOrderSorted.get(mid)) >= orderUnits) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        sumPerOrderSorted.add(low, order);
+    }
+
+    /*
+     * Inclui, na ordem dada, os pedidos que cabem na disponibilidade e no waveSizeUB
+     */
+    private int fillOrders(List<Integer> candidates, int[] availability, Set<Integer> selectedOrders, int totalUnits) {
+        for (int orderIdx : candidates) {
+            if (removedOrders.contains(orderIdx) || selectedOrders.contains(orderIdx)) continue;
+
+            Map<Integer, Integer> order = orders.get(orderIdx);
+
+            // Verifica se o pedido pode ser atendido com a disponibilidade atual
+            boolean canFulfill = true;
+            for (Map.Entry<Integer, Integer> item : order.entrySet()) {
+                if (availability[item.getKey()] < item.getValue()) {
+                    canFulfill = false;
+                    break;
+                }
+            }
+
+            if (!canFulfill) continue;
+
+            // Verifica se excederia o waveSizeUB
+            int orderUnits = sumPerOrder.get(orderIdx);
+            if (totalUnits + orderUnits > waveSizeUB) continue;
+
+            // Atualiza disponibilidade
+            for (Map.Entry<Integer, Integer> item : order.entrySet()) {
+                availability[item.getKey()] -= item.getValue();
+            }
+
+            selectedOrders.add(orderIdx);
+            totalUnits += orderUnits;
+        }
+
+        return totalUnits;
+    }
+}
@@ -0,0 +1,112 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Componentes conexas do grafo bipartido pedidos/corredores, em que um pedido e um corredor
+ * estão ligados quando compartilham algum item (union-find)
+ */
+public class InstanceDecomposition {
+    private final int[] parent;
+    private final List<Component> components = new ArrayList<>();
+
+    public InstanceDecomposition(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems) {
+        // Vértices 0..nOrders-1 são pedidos e nOrders..nOrders+nAisles-1 são corredores
+        int nOrders = orders.size();
+        parent = new int[nOrders + aisles.size()];
+        for (int v = 0; v < parent.length; v++) {
+            parent[v] = v;
+        }
+
+        // Primeiro vértice que contém cada item
+        int[] firstVertex = new int[nItems];
+        Arrays.fill(firstVertex, -1);
+
+        for (int v = 0; v < parent.length; v++) {
+            Map<Integer, Integer> entity = v < nOrders ? orders.get(v) : aisles.get(v - nOrders);
+            for (int item : entity.keySet()) {
+                if (firstVertex[item] < 0) {
+                    firstVertex[item] = v;
+                } else {
+                    union(firstVertex[item], v);
+                }
+            }
+        }
+
+        Map<Integer, List<Integer>> ordersByRoot = new LinkedHashMap<>();
+        Map<Integer, List<Integer>> aislesByRoot = new HashMap<>();
+        for (int v = 0; v < parent.length; v++) {
+            if (v < nOrders) {
+                ordersByRoot.computeIfAbsent(find(v), root -> new ArrayList<>()).add(v);
+            } else {
+                aislesByRoot.computeIfAbsent(find(v), root -> new ArrayList<>()).add(v - nOrders);
+            }
+        }
+
+        // Componentes sem pedidos ou sem corredores nunca fazem parte de uma onda
+        for (Map.Entry<Integer, List<Integer>> entry : ordersByRoot.entrySet()) {
+            List<Integer> componentAisles = aislesByRoot.get(entry.getKey());
+            if (componentAisles != null) {
+                components.add(buildComponent(orders, aisles, entry.getValue(), componentAisles));
+            }
+        }
+    }
+
+    public List<Component> components() {
+        return components;
+    }
+
+    /*
+     * Subinstância com índices locais de pedidos, corredores e itens, para que o modelo da
+     * componente só tenha as variáveis e restrições dela
+     */
+    private Component buildComponent(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles,
+            List<Integer> componentOrders, List<Integer> componentAisles) {
+        Map<Integer, Integer> itemIndex = new HashMap<>();
+        List<Map<Integer, Integer>> localOrders = remapItems(orders, componentOrders, itemIndex);
+        List<Map<Integer, Integer>> localAisles = remapItems(aisles, componentAisles, itemIndex);
+
+        return new Component(componentOrders, componentAisles, localOrders, localAisles, itemIndex.size());
+    }
+
+    private List<Map<Integer, Integer>> remapItems(List<Map<Integer, Integer>> entities, List<Integer> indexes,
+            Map<Integer, Integer> itemIndex) {
+        List<Map<Integer, Integer>> localEntities = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            Map<Integer, Integer> localEntity = new HashMap<>();
+            for (Map.Entry<Integer, Integer> entry : entities.get(index).entrySet()) {
+                int localItem = itemIndex.computeIfAbsent(entry.getKey(), item -> itemIndex.size());
+                localEntity.put(localItem, entry.getValue());
+            }
+            localEntities.add(localEntity);
+        }
+        return localEntities;
+    }
+
+    private int find(int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    private void union(int u, int v) {
+        int rootU = find(u), rootV = find(v);
+        if (rootU != rootV) {
+            parent[rootV] = rootU;
+        }
+    }
+
+    /*
+     * orders e aisles guardam os índices globais de cada índice local da subinstância
+     */
+    public record Component(List<Integer> orders, List<Integer> aisles,
+            List<Map<Integer, Integer>> localOrders, List<Map<Integer, Integer>> localAisles, int nItems) {
+    }
+}
@@ -0,0 +1,23 @@
+package org.sbpo2025.challenge;
+
+/*
+ * Operações densas sobre vetores de itens (int[nItems]). Usa jdk.incubator.vector quando o
+ * módulo está presente (java --add-modules jdk.incubator.vector) e o código escalar caso contrário
+ */
+public final class IntKernels {
+    public static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private IntKernels() {
+    }
+
+    public static int sum(int[] values) {
+        return VECTORIZED ? VectorIntKernels.sum(values) : ScalarIntKernels.sum(values);
+    }
+
+    /*
+     * a[i] <= b[i] para todo i
+     */
+    public static boolean allLessOrEqual(int[] a, int[] b) {
+        return VECTORIZED ? VectorIntKernels.allLessOrEqual(a, b) : ScalarIntKernels.allLessOrEqual(a, b);
+    }
+}
@@ -1,6 +1,7 @@
 package org.sbpo2025.challenge;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +11,7 @@ import ilog.concert.IloException;
 import ilog.concert.IloLinearNumExpr;
 import ilog.concert.IloNumVar;
 import ilog.concert.IloObjective;
+import ilog.concert.IloRange;
 import ilog.cplex.IloCplex;
 
 public class ParametricSolver {
@@ -17,6 +19,10 @@ public class ParametricSolver {
     private IloNumVar[] x;
     private IloNumVar[] y;
     private IloObjective currentObjective;
+    private IloRange[] itemCapacity;
+    private IloRange totalUnitsLB;
+    private IloRange totalUnitsUB;
+    private final Set<Integer> closedAisles = new HashSet<>();
 
     public ParametricSolver(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles, int nItems, int waveSizeLB, int waveSizeUB) {
         try {
@@ -57,9 +63,10 @@ public class ParametricSolver {
             }
             totalUnits.addTerm(sum, y[o]);
         }
-        cplex.addGe(totalUnits, waveSizeLB);
-        cplex.addLe(totalUnits, waveSizeUB);
+        totalUnitsLB = cplex.addGe(totalUnits, waveSizeLB);
+        totalUnitsUB = cplex.addLe(totalUnits, waveSizeUB);
 
+        itemCapacity = new IloRange[nItems];
         for (int i = 0; i < nItems; i++) {
             IloLinearNumExpr pickedUnits = cplex.linearNumExpr();
             IloLinearNumExpr availableUnits = cplex.linearNumExpr();
@@ -76,7 +83,7 @@ public class ParametricSolver {
                 }
             }
             
-            cplex.addLe(pickedUnits, availableUnits);
+            itemCapacity[i] = cplex.addLe(pickedUnits, availableUnits);
         }
         
         IloLinearNumExpr sumXa = cplex.linearNumExpr();
@@ -116,9 +123,10 @@ public class ParametricSolver {
         Set<Integer> selectedAisles = initialSolution.aisles();
         Set<Integer> selectedOrders = initialSolution.orders();
 
+        // Corredores fechados estão vazios, então ficam fora do ponto inicial sem afetar sua factibilidade
         for (int a = 0; a < x.length; a++) {
             vars.add(x[a]);
-            values.add(selectedAisles.contains(a) ? 1.0 : 0.0);
+            values.add(selectedAisles.contains(a) && !closedAisles.contains(a) ? 1.0 : 0.0);
         }
 
         for (int o = 0; o < y.length; o++) {
@@ -129,7 +137,62 @@ public class ParametricSolver {
         cplex.addMIPStart(vars.toArray(new IloNumVar[0]), values.stream().mapToDouble(Double::doubleValue).toArray());
     }
 
-    public void setTimeLimit(long timeRemaining) throws IloException {
+    public void clearInitialSolutions() throws IloException {
+        int nMIPStarts = cplex.getNMIPStarts();
+        if (nMIPStarts > 0) {
+            cplex.deleteMIPStarts(0, nMIPStarts);
+        }
+    }
+
+    /*
+     * Cria a variável y do novo pedido e a insere nas restrições existentes
+     */
+    public void addOrder(Map<Integer, Integer> order) throws IloException {
+        int o = y.length;
+        y = Arrays.copyOf(y, o + 1);
+        y[o] = cplex.boolVar("y" + o);
+
+        int sum = 0;
+        for (Map.Entry<Integer, Integer> entry : order.entrySet()) {
+            sum += entry.getValue();
+            cplex.setLinearCoef(itemCapacity[entry.getKey()], entry.getValue(), y[o]);
+        }
+        cplex.setLinearCoef(totalUnitsLB, sum, y[o]);
+        cplex.setLinearCoef(totalUnitsUB, sum, y[o]);
+    }
+
+    /*
+     * Fixa y[o] = 0, retirando o pedido do modelo sem reconstruí-lo
+     */
+    public void removeOrder(int order) throws IloException {
+        y[order].setUB(0);
+    }
+
+    /*
+     * Atualiza o estoque do item no corredor (coeficiente de x[a] na restrição de capacidade do item)
+     */
+    public void updateAisleStock(int aisle, int item, int quantity) throws IloException {
+        cplex.setLinearCoef(itemCapacity[item], -quantity, x[aisle]);
+    }
+
+    /*
+     * Fixa x[a] = 0 para corredores sem estoque
+     */
+    public void closeAisle(int aisle) throws IloException {
+        x[aisle].setUB(0);
+        closedAisles.add(aisle);
+    }
+
+    public void openAisle(int aisle) throws IloException {
+        x[aisle].setUB(1);
+        closedAisles.remove(aisle);
+    }
+
+    public void setThreads(int threads) throws IloException {
+        cplex.setParam(IloCplex.Param.Threads, threads);
+    }
+
+    public void setTimeLimit(double timeRemaining) throws IloException {
         cplex.setParam(IloCplex.Param.TimeLimit, timeRemaining);
     }
 
@@ -0,0 +1,23 @@
+package org.sbpo2025.challenge;
+
+final class ScalarIntKernels {
+    private ScalarIntKernels() {
+    }
+
+    static int sum(int[] values) {
+        int sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    static boolean allLessOrEqual(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
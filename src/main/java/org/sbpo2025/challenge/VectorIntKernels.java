@@ -0,0 +1,49 @@
+package org.sbpo2025.challenge;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * Só deve ser carregada quando o módulo jdk.incubator.vector está presente (ver IntKernels)
+ */
+final class VectorIntKernels {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorIntKernels() {
+    }
+
+    static int sum(int[] values) {
+        IntVector acc = IntVector.zero(SPECIES);
+        int i = 0;
+        int upperBound = SPECIES.loopBound(values.length);
+        for (; i < upperBound; i += SPECIES.length()) {
+            acc = acc.add(IntVector.fromArray(SPECIES, values, i));
+        }
+
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < values.length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    static boolean allLessOrEqual(int[] a, int[] b) {
+        int i = 0;
+        int upperBound = SPECIES.loopBound(a.length);
+        for (; i < upperBound; i += SPECIES.length()) {
+            IntVector va = IntVector.fromArray(SPECIES, a, i);
+            IntVector vb = IntVector.fromArray(SPECIES, b, i);
+            if (va.compare(VectorOperators.GT, vb).anyTrue()) {
+                return false;
+            }
+        }
+
+        for (; i < a.length; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
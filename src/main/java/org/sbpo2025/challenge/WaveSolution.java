@@ -0,0 +1,4 @@
+package org.sbpo2025.challenge;
+
+public record WaveSolution(ChallengeSolution solution, double q, double elapsedSeconds) {
+}
@@ -0,0 +1,136 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Random;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * Compara os kernels escalares e vetoriais com o número de itens das instâncias informadas
+ * (por padrão, o maior do dataset B). Fica fora do jar; após mvn test-compile:
+ * java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes org.sbpo2025.challenge.IntKernelsBenchmark datasets/b/*.txt
+ *
+ * add+subtract é medido só para registrar por que IntKernels não os oferece: o C2 já vetoriza
+ * esses laços e a versão com jdk.incubator.vector fica mais lenta
+ */
+public class IntKernelsBenchmark {
+    private static final int DEFAULT_N_ITEMS = 37820;
+    private static final int WARMUP_ROUNDS = 20000;
+    private static final int MEASURED_ROUNDS = 20000;
+
+    private static int sink;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("Vector API: " + (IntKernels.VECTORIZED ? "sim" : "não (use --add-modules jdk.incubator.vector)"));
+
+        if (args.length == 0) {
+            benchmark("default", DEFAULT_N_ITEMS);
+            return;
+        }
+
+        for (String inputFilePath : args) {
+            benchmark(inputFilePath, readNItems(inputFilePath));
+        }
+    }
+
+    private static int readNItems(String inputFilePath) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(inputFilePath))) {
+            return Integer.parseInt(reader.readLine().split(" ")[1]);
+        }
+    }
+
+    private static void benchmark(String name, int nItems) {
+        Random random = new Random(0);
+        int[] picked = new int[nItems];
+        int[] available = new int[nItems];
+        for (int i = 0; i < nItems; i++) {
+            picked[i] = random.nextInt(10);
+            available[i] = picked[i] + random.nextInt(10);
+        }
+
+        System.out.println("\n" + name + " (nItems = " + nItems + ")");
+        System.out.println(String.format("%-16s %12s %12s %8s", "kernel", "escalar (ns)", "vetor (ns)", "ganho"));
+
+        report("sum", nItems,
+                () -> sink += ScalarIntKernels.sum(picked),
+                () -> sink += VectorIntKernels.sum(picked));
+        report("allLessOrEqual", nItems,
+                () -> sink += ScalarIntKernels.allLessOrEqual(picked, available) ? 1 : 0,
+                () -> sink += VectorIntKernels.allLessOrEqual(picked, available) ? 1 : 0);
+        // add seguido de subtract mantém os valores de available estáveis entre as rodadas
+        report("add+subtract", nItems,
+                () -> {
+                    for (int i = 0; i < nItems; i++) {
+                        available[i] += picked[i];
+                    }
+                    for (int i = 0; i < nItems; i++) {
+                        available[i] -= picked[i];
+                    }
+                },
+                () -> {
+                    VectorAddSubtract.add(available, picked);
+                    VectorAddSubtract.subtract(available, picked);
+                });
+    }
+
+    private static void report(String kernel, int nItems, Runnable scalar, Runnable vector) {
+        double scalarTime = measure(scalar);
+        if (!IntKernels.VECTORIZED) {
+            System.out.println(String.format("%-16s %12.0f %12s %8s", kernel, scalarTime, "-", "-"));
+            return;
+        }
+
+        double vectorTime = measure(vector);
+        System.out.println(String.format("%-16s %12.0f %12.0f %7.2fx", kernel, scalarTime, vectorTime, scalarTime / vectorTime));
+    }
+
+    private static double measure(Runnable kernel) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            kernel.run();
+        }
+
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            kernel.run();
+        }
+        return (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+    }
+
+    /*
+     * Classe separada para só ser carregada quando o módulo jdk.incubator.vector está presente
+     */
+    private static final class VectorAddSubtract {
+        private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+        static void add(int[] acc, int[] values) {
+            int i = 0;
+            int upperBound = SPECIES.loopBound(acc.length);
+            for (; i < upperBound; i += SPECIES.length()) {
+                IntVector.fromArray(SPECIES, acc, i)
+                        .add(IntVector.fromArray(SPECIES, values, i))
+                        .intoArray(acc, i);
+            }
+
+            for (; i < acc.length; i++) {
+                acc[i] += values[i];
+            }
+        }
+
+        static void subtract(int[] acc, int[] values) {
+            int i = 0;
+            int upperBound = SPECIES.loopBound(acc.length);
+            for (; i < upperBound; i += SPECIES.length()) {
+                IntVector.fromArray(SPECIES, acc, i)
+                        .sub(IntVector.fromArray(SPECIES, values, i))
+                        .intoArray(acc, i);
+            }
+
+            for (; i < acc.length; i++) {
+                acc[i] -= values[i];
+            }
+        }
+    }
+}